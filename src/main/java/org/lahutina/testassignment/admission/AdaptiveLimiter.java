@@ -0,0 +1,111 @@
+package org.lahutina.testassignment.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency (AIMD).
+ * <p>
+ * Every request finishing within the target latency while the limiter is at least half used grows
+ * the limit by {@code 1 / limit}, i.e. by one per limit's worth of requests. A slow or failed request
+ * shrinks the limit by the backoff ratio, at most once per batch of requests that were in flight together.
+ * Without a target latency the limit stays fixed at the initial limit.
+ */
+public class AdaptiveLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final boolean adaptive;
+    private final long targetLatencyNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    /**
+     * @param targetLatency Requests slower than this shrink the limit, or null for a fixed limit
+     */
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, Duration targetLatency) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.adaptive = targetLatency != null;
+        this.targetLatencyNanos = adaptive ? targetLatency.toNanos() : 0;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot if the limit allows it.
+     *
+     * @return True if the request may proceed and must later be {@link #release released}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives the slot back and adapts the limit to the outcome of the request.
+     *
+     * @param startNanos The {@link System#nanoTime()} at which the slot was acquired
+     * @param failed     True if the request failed because of the server
+     */
+    public void release(long startNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (!adaptive) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (failed || now - startNanos > targetLatencyNanos) {
+                // Requests started before the last decrease already saw the smaller limit coming.
+                if (startNanos - lastDecreaseNanos > 0) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    /**
+     * Records a request turned away before reaching this limiter.
+     */
+    void reject() {
+        rejected.increment();
+    }
+
+    /**
+     * @return True if at least the given share of the limit is in use
+     */
+    boolean isSaturated(double share) {
+        return inFlight.get() >= limit * share;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
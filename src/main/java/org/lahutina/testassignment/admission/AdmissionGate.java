@@ -0,0 +1,84 @@
+package org.lahutina.testassignment.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Decides whether a request may start, based on the limiter of its request class and, for
+ * low-priority classes, on how busy the higher-priority classes are.
+ */
+public class AdmissionGate implements MeterBinder {
+
+    private final Map<RequestClass, AdaptiveLimiter> limiters;
+    private final double priorityHeadroom;
+
+    /**
+     * @param limiters         A limiter for every request class
+     * @param priorityHeadroom Share of a higher-priority limit in use above which lower-priority requests are shed
+     */
+    public AdmissionGate(Map<RequestClass, AdaptiveLimiter> limiters, double priorityHeadroom) {
+        this.limiters = new EnumMap<>(limiters);
+        this.priorityHeadroom = priorityHeadroom;
+        for (RequestClass requestClass : RequestClass.values()) {
+            if (!this.limiters.containsKey(requestClass)) {
+                throw new IllegalArgumentException("No limiter configured for " + requestClass);
+            }
+        }
+    }
+
+    /**
+     * Takes a slot for a request of the given class.
+     *
+     * @param requestClass The class of the request
+     * @return The limiter to release once the request completes, or null if the request must be rejected
+     */
+    public AdaptiveLimiter tryAcquire(RequestClass requestClass) {
+        AdaptiveLimiter limiter = limiters.get(requestClass);
+        for (Map.Entry<RequestClass, AdaptiveLimiter> other : limiters.entrySet()) {
+            if (other.getKey().getPriority() < requestClass.getPriority() && other.getValue().isSaturated(priorityHeadroom)) {
+                limiter.reject();
+                return null;
+            }
+        }
+        return limiter.tryAcquire() ? limiter : null;
+    }
+
+    /**
+     * Tells background work to back off because top-priority requests are close to their limit.
+     *
+     * @return True if a top-priority request class uses more than the priority headroom of its limit
+     */
+    public boolean isUnderPressure() {
+        return limiters.entrySet().stream()
+                .anyMatch(entry -> entry.getKey().getPriority() == 0 && entry.getValue().isSaturated(priorityHeadroom));
+    }
+
+    public AdaptiveLimiter getLimiter(RequestClass requestClass) {
+        return limiters.get(requestClass);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        limiters.forEach((requestClass, limiter) -> {
+            String tag = requestClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("admission.limit", limiter, AdaptiveLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", tag)
+                    .register(registry);
+            Gauge.builder("admission.inflight", limiter, AdaptiveLimiter::getInFlight)
+                    .description("Requests currently admitted")
+                    .tag("class", tag)
+                    .register(registry);
+            FunctionCounter.builder("admission.rejected", limiter, AdaptiveLimiter::getRejected)
+                    .description("Requests rejected with 503")
+                    .tag("class", tag)
+                    .register(registry);
+        });
+    }
+}
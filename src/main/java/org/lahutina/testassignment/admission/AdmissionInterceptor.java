@@ -0,0 +1,66 @@
+package org.lahutina.testassignment.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.lahutina.testassignment.exception.ServiceOverloadedException;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Applies admission control to controller methods annotated with {@link Admission}.
+ * Rejected requests fail fast with a {@link ServiceOverloadedException}.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String LIMITER_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".start";
+    private static final String SHED_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".shed";
+
+    private final AdmissionGate gate;
+    private final Duration retryAfter;
+
+    public AdmissionInterceptor(AdmissionGate gate, Duration retryAfter) {
+        this.gate = gate;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Admission admission = handlerMethod.getMethodAnnotation(Admission.class);
+        if (admission == null) {
+            return true;
+        }
+        AdaptiveLimiter limiter = gate.tryAcquire(admission.value());
+        if (limiter == null) {
+            throw new ServiceOverloadedException("Too many concurrent requests, retry later", retryAfter);
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Marks the request as deliberately rejected because of overload, so its 503 is not taken for a
+     * server failure. Otherwise shedding would shrink the limits and feed on itself.
+     *
+     * @param request The rejected request
+     */
+    public static void markShed(HttpServletRequest request) {
+        request.setAttribute(SHED_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(LIMITER_ATTRIBUTE) instanceof AdaptiveLimiter limiter) {
+            request.removeAttribute(LIMITER_ATTRIBUTE);
+            long start = (Long) request.getAttribute(START_ATTRIBUTE);
+            boolean shed = request.getAttribute(SHED_ATTRIBUTE) != null;
+            limiter.release(start, ex != null || response.getStatus() >= 500 && !shed);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.lahutina.testassignment.admission;
+
+/**
+ * Kinds of requests that get their own concurrency limit.
+ */
+public enum RequestClass {
+    /**
+     * Cheap single-user lookups.
+     */
+    POINT_READ(0),
+    /**
+     * Single-user changes.
+     */
+    WRITE(0),
+    /**
+     * Listings and other requests touching many users, shed first under load.
+     */
+    BULK_READ(1),
+    /**
+     * Streaming of large files, whose duration says nothing about server health, so only their concurrency is capped.
+     */
+    DOWNLOAD(1),
+    /**
+     * Starts of snapshot exports, bounded by the export queue, so only their concurrency is capped.
+     */
+    EXPORT(1);
+
+    private final int priority;
+
+    RequestClass(int priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Lower values are served first.
+     *
+     * @return The priority of the request class
+     */
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,46 @@
+package org.lahutina.testassignment.config;
+
+import org.lahutina.testassignment.admission.AdaptiveLimiter;
+import org.lahutina.testassignment.admission.AdmissionGate;
+import org.lahutina.testassignment.admission.AdmissionInterceptor;
+import org.lahutina.testassignment.admission.RequestClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration of admission control for the REST API.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "admission", name = "enabled", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionProperties properties;
+
+    public AdmissionConfig(AdmissionProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public AdmissionGate admissionGate() {
+        Map<RequestClass, AdaptiveLimiter> limiters = new EnumMap<>(RequestClass.class);
+        for (RequestClass requestClass : RequestClass.values()) {
+            AdmissionProperties.Limit limit = properties.limitFor(requestClass);
+            limiters.put(requestClass, new AdaptiveLimiter(limit.getInitialLimit(), limit.getMinLimit(),
+                    limit.getMaxLimit(), limit.getTargetLatency()));
+        }
+        return new AdmissionGate(limiters, properties.getPriorityHeadroom());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(admissionGate(), properties.getRetryAfter()));
+    }
+}
@@ -0,0 +1,67 @@
+package org.lahutina.testassignment.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.lahutina.testassignment.admission.RequestClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Admission control settings bound from the {@code admission.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Share of a higher-priority limit in use above which lower-priority requests are rejected.
+     */
+    private double priorityHeadroom = 0.8;
+
+    /**
+     * Value of the Retry-After header of rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private Limit pointRead = new Limit(100, 10, 400, Duration.ofMillis(50));
+    private Limit write = new Limit(50, 5, 200, Duration.ofMillis(100));
+    private Limit bulkRead = new Limit(10, 1, 50, Duration.ofMillis(500));
+
+    /**
+     * Number of export files streamed at the same time.
+     */
+    private int downloadConcurrency = 2;
+
+    /**
+     * Number of export start requests handled at the same time.
+     */
+    private int exportConcurrency = 2;
+
+    public Limit limitFor(RequestClass requestClass) {
+        return switch (requestClass) {
+            case POINT_READ -> pointRead;
+            case WRITE -> write;
+            case BULK_READ -> bulkRead;
+            case DOWNLOAD -> new Limit(downloadConcurrency, downloadConcurrency, downloadConcurrency, null);
+            case EXPORT -> new Limit(exportConcurrency, exportConcurrency, exportConcurrency, null);
+        };
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        /**
+         * Requests slower than this shrink the limit; without it the limit stays at the initial limit.
+         */
+        private Duration targetLatency;
+    }
+}
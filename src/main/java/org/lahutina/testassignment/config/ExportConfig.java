@@ -0,0 +1,32 @@
+package org.lahutina.testassignment.config;
+
+import org.lahutina.testassignment.service.ExportService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Configuration of the snapshot exports, including the scheduled cleanup of expired ones.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportConfig implements SchedulingConfigurer {
+
+    private final ExportProperties properties;
+    private final ExportService exportService;
+
+    public ExportConfig(ExportProperties properties, ExportService exportService) {
+        this.properties = properties;
+        this.exportService = exportService;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(exportService::removeExpiredJobs,
+                properties.getCleanupInterval(), properties.getCleanupInterval()));
+    }
+}
@@ -0,0 +1,60 @@
+package org.lahutina.testassignment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Snapshot export settings bound from the {@code export.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "export")
+public class ExportProperties {
+
+    /**
+     * Directory the snapshot files are written to, local to the instance running the export.
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "user-exports");
+
+    /**
+     * Exports running at the same time.
+     */
+    private int maxConcurrentJobs = 1;
+
+    /**
+     * Exports waiting for a free slot; further requests are rejected with 503.
+     */
+    private int maxQueuedJobs = 4;
+
+    /**
+     * Users read from a shard per query.
+     */
+    private int pageSize = 1000;
+
+    /**
+     * Pause between two pages, leaving the database to foreground requests.
+     */
+    private Duration pageDelay = Duration.ofMillis(20);
+
+    /**
+     * Pause before retrying a page while admission control reports foreground pressure.
+     */
+    private Duration pressureBackoff = Duration.ofMillis(200);
+
+    /**
+     * How long finished jobs and their files are kept.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * How often expired jobs and files are removed.
+     */
+    private Duration cleanupInterval = Duration.ofMinutes(5);
+
+    /**
+     * Value of the Retry-After header when the job queue is full.
+     */
+    private Duration retryAfter = Duration.ofSeconds(30);
+}
@@ -0,0 +1,62 @@
+package org.lahutina.testassignment.config;
+
+import org.flywaydb.core.Flyway;
+import org.lahutina.testassignment.shard.ShardRouter;
+import org.lahutina.testassignment.shard.ShardRoutingDataSource;
+import org.lahutina.testassignment.shard.ShardedIdGenerator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Configuration of the shard data sources, their schema migrations, routing and id generation.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ShardRoutingDataSource dataSource(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("At least one shard must be configured in sharding.shards");
+        }
+        List<DataSource> shards = properties.getShards().stream()
+                .map(shard -> (DataSource) DataSourceBuilder.create()
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build())
+                .toList();
+        // Spring Boot's Flyway integration only sees the default shard, so every shard is migrated here.
+        shards.forEach(ShardingConfig::migrate);
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * Applies the schema migrations to one shard. A shard that already holds tables but no migration
+     * history is baselined at version 0, so every migration still runs; V1 keeps an existing users table.
+     */
+    static void migrate(DataSource shard) {
+        Flyway.configure()
+                .dataSource(shard)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        return new ShardRouter(properties.getShards().size(), properties.getScatterThreads());
+    }
+
+    @Bean
+    public ShardedIdGenerator shardedIdGenerator(ShardingProperties properties) {
+        return new ShardedIdGenerator(properties.getWorkerId());
+    }
+}
@@ -0,0 +1,37 @@
+package org.lahutina.testassignment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharding settings bound from the {@code sharding.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    /**
+     * Shard databases, in shard number order. Shard 0 holds all users created before sharding.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Id of this application instance, unique among instances sharing the shards.
+     */
+    private int workerId;
+
+    /**
+     * Threads used to query all shards in parallel.
+     */
+    private int scatterThreads = 8;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,53 @@
+package org.lahutina.testassignment.controller;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs at most one warning per error kind and interval, reporting how many similar errors were
+ * suppressed since the previous one.
+ */
+class ErrorLogThrottle {
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    ErrorLogThrottle(Logger logger, Duration interval) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Logs the message at WARN unless an error of the same kind was logged within the interval.
+     *
+     * @param kind    The error kind, errors of one kind share a budget
+     * @param message The message to log
+     */
+    void warn(String kind, String message) {
+        Window window = windows.computeIfAbsent(kind, key -> new Window());
+        long now = System.nanoTime();
+        long opensAt = window.opensAt.get();
+        if (now - opensAt >= 0 && window.opensAt.compareAndSet(opensAt, now + intervalNanos)) {
+            long suppressed = window.suppressed.sumThenReset();
+            if (suppressed > 0) {
+                logger.warn("{}: {} ({} similar errors suppressed)", kind, message, suppressed);
+            } else {
+                logger.warn("{}: {}", kind, message);
+            }
+        } else {
+            window.suppressed.increment();
+            logger.debug("{}: {}", kind, message);
+        }
+    }
+
+    private static final class Window {
+        private final AtomicLong opensAt = new AtomicLong(System.nanoTime());
+        private final LongAdder suppressed = new LongAdder();
+    }
+}
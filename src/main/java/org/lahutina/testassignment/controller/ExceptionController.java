@@ -1,45 +1,148 @@
 package org.lahutina.testassignment.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.lahutina.testassignment.admission.AdmissionInterceptor;
+import org.lahutina.testassignment.dto.ErrorResponseDto;
+import org.lahutina.testassignment.exception.ExportJobNotFoundException;
+import org.lahutina.testassignment.exception.ExportNotReadyException;
+import org.lahutina.testassignment.exception.InvalidPageRequestException;
 import org.lahutina.testassignment.exception.UserNotFoundException;
 import org.lahutina.testassignment.exception.InvalidUserAgeException;
+import org.lahutina.testassignment.exception.ServiceOverloadedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 
 /**
  * Controller advice to handle exceptions globally across all controllers.
+ * Client errors are frequent and expected, so they are logged through an {@link ErrorLogThrottle}.
+ * This includes the framework errors caused by malformed requests, which scanners send in bulk.
  */
 @ControllerAdvice
 public class ExceptionController {
 
     private static final Logger logger = LoggerFactory.getLogger(ExceptionController.class);
 
+    private final ErrorLogThrottle clientErrorLog;
+
+    public ExceptionController(@Value("${error.log.interval:10s}") Duration logInterval) {
+        this.clientErrorLog = new ErrorLogThrottle(logger, logInterval);
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<Object> handleUserNotFoundException(UserNotFoundException ex) {
-        logger.warn(ex.getMessage());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found: " + ex.getMessage());
+    public ResponseEntity<ErrorResponseDto> handleUserNotFoundException(UserNotFoundException ex) {
+        clientErrorLog.warn("User not found", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, ex.getMessage(), List.of());
+    }
+
+    @ExceptionHandler(ExportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleExportJobNotFoundException(ExportJobNotFoundException ex) {
+        clientErrorLog.warn("Export not found", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, ex.getMessage(), List.of());
+    }
+
+    @ExceptionHandler(ExportNotReadyException.class)
+    public ResponseEntity<ErrorResponseDto> handleExportNotReadyException(ExportNotReadyException ex) {
+        clientErrorLog.warn("Export not ready", ex.getMessage());
+        return error(HttpStatus.CONFLICT, ex.getMessage(), List.of());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Object> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
-        logger.warn(ex.getMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Check user params: " + ex.getMessage());
+    public ResponseEntity<ErrorResponseDto> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
+        List<String> details = ex.getBindingResult().getFieldErrors().stream()
+                .map(ExceptionController::describe)
+                .toList();
+        clientErrorLog.warn("Invalid user params", String.join(", ", details));
+        return error(HttpStatus.BAD_REQUEST, "Check user params", details);
     }
 
     @ExceptionHandler(InvalidUserAgeException.class)
-    public ResponseEntity<Object> handleInvalidUserException(InvalidUserAgeException ex) {
-        logger.warn(ex.getMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid user age: " + ex.getMessage());
+    public ResponseEntity<ErrorResponseDto> handleInvalidUserException(InvalidUserAgeException ex) {
+        clientErrorLog.warn("Invalid user age", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage(), List.of());
+    }
+
+    @ExceptionHandler(DateTimeParseException.class)
+    public ResponseEntity<ErrorResponseDto> handleDateTimeParseException(DateTimeParseException ex) {
+        clientErrorLog.warn("Invalid date", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, "Invalid date: " + ex.getParsedString(), List.of());
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidPageRequestException(InvalidPageRequestException ex) {
+        clientErrorLog.warn("Invalid page", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage(), List.of());
+    }
+
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleNoResourceFoundException(NoResourceFoundException ex) {
+        clientErrorLog.warn("No such path", ex.getResourcePath());
+        return error(HttpStatus.NOT_FOUND, "No resource at /" + ex.getResourcePath(), List.of());
+    }
+
+    @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
+    public ResponseEntity<ErrorResponseDto> handleHttpRequestMethodNotSupportedException(HttpRequestMethodNotSupportedException ex) {
+        clientErrorLog.warn("Method not allowed", ex.getMessage());
+        return error(HttpStatus.METHOD_NOT_ALLOWED, "Method " + ex.getMethod() + " is not supported", List.of());
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponseDto> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        clientErrorLog.warn("Invalid parameter", ex.getName() + "=" + ex.getValue());
+        return error(HttpStatus.BAD_REQUEST, "Invalid value for " + ex.getName() + ": " + ex.getValue(), List.of());
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponseDto> handleMissingServletRequestParameterException(MissingServletRequestParameterException ex) {
+        clientErrorLog.warn("Missing parameter", ex.getParameterName());
+        return error(HttpStatus.BAD_REQUEST, "Missing parameter: " + ex.getParameterName(), List.of());
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponseDto> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        clientErrorLog.warn("Unreadable request body", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, "Malformed request body", List.of());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponseDto> handleServiceOverloadedException(ServiceOverloadedException ex,
+                                                                             HttpServletRequest request) {
+        AdmissionInterceptor.markShed(request);
+        clientErrorLog.warn("Request shed", ex.getMessage());
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(new ErrorResponseDto(status.value(), status.getReasonPhrase(), ex.getMessage(), List.of()));
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Object> handleGenericException(Exception ex) {
+    public ResponseEntity<ErrorResponseDto> handleGenericException(Exception ex) {
         logger.error("Internal server error", ex);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Something went wrong!");
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Something went wrong!", List.of());
     }
 
+    private static ResponseEntity<ErrorResponseDto> error(HttpStatus status, String message, List<String> details) {
+        return ResponseEntity.status(status)
+                .body(new ErrorResponseDto(status.value(), status.getReasonPhrase(), message, details));
+    }
+
+    private static String describe(FieldError error) {
+        return error.getField() + ": " + error.getDefaultMessage();
+    }
 }
@@ -0,0 +1,60 @@
+package org.lahutina.testassignment.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.lahutina.testassignment.admission.Admission;
+import org.lahutina.testassignment.admission.RequestClass;
+import org.lahutina.testassignment.dto.ExportJobDto;
+import org.lahutina.testassignment.export.ExportJob;
+import org.lahutina.testassignment.service.ExportService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Controller class to handle asynchronous snapshot exports of all users.
+ */
+@RestController
+@RequestMapping("/users/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @PostMapping
+    @Admission(RequestClass.EXPORT)
+    public ResponseEntity<ExportJobDto> start() {
+        ExportJob job = exportService.startExport();
+        return ResponseEntity.accepted()
+                .location(URI.create("/users/exports/" + job.getId()))
+                .body(toDto(job));
+    }
+
+    @GetMapping("/{jobId}")
+    @Admission(RequestClass.POINT_READ)
+    public ResponseEntity<ExportJobDto> status(@PathVariable String jobId) {
+        return ResponseEntity.ok(toDto(exportService.getJob(jobId)));
+    }
+
+    @GetMapping("/{jobId}/file")
+    @Admission(RequestClass.DOWNLOAD)
+    public ResponseEntity<Resource> download(@PathVariable String jobId) {
+        Path file = exportService.getFile(jobId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    private static ExportJobDto toDto(ExportJob job) {
+        return new ExportJobDto(job.getId(), job.getStatus(), job.getRowsExported(), job.getCreatedAt(),
+                job.getCompletedAt(), job.getError());
+    }
+}
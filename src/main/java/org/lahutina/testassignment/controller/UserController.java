@@ -2,9 +2,15 @@ package org.lahutina.testassignment.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.lahutina.testassignment.admission.Admission;
+import org.lahutina.testassignment.admission.RequestClass;
 import org.lahutina.testassignment.dto.UserFullNameDto;
 import org.lahutina.testassignment.entity.User;
+import org.lahutina.testassignment.exception.InvalidPageRequestException;
 import org.lahutina.testassignment.service.UserService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,46 +25,84 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
 
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final UserService userService;
 
     @PostMapping
+    @Admission(RequestClass.WRITE)
     public ResponseEntity<User> create(@Valid @RequestBody User user) {
         User createdUser = userService.create(user);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
     @GetMapping("/{id}")
+    @Admission(RequestClass.POINT_READ)
     public ResponseEntity<User> read(@PathVariable Long id) {
         User user = userService.findById(id);
         return ResponseEntity.ok(user);
     }
 
     @PatchMapping("/{id}")
+    @Admission(RequestClass.WRITE)
     public ResponseEntity<User> updateFullName(@PathVariable Long id, @RequestBody UserFullNameDto userFullNameDto) {
         User updatedUser = userService.updateFullName(id, userFullNameDto);
         return ResponseEntity.ok(updatedUser);
     }
 
     @PutMapping("/{id}")
+    @Admission(RequestClass.WRITE)
     public ResponseEntity<User> update(@PathVariable Long id, @Valid @RequestBody User user) {
         User updatedUser = userService.update(id, user);
         return ResponseEntity.ok(updatedUser);
     }
 
     @DeleteMapping("/{id}")
+    @Admission(RequestClass.WRITE)
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         boolean deleted = userService.delete(id);
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<User>> searchUsersByBirthDateRange(@RequestParam("from") String fromDate, @RequestParam("to") String toDate) {
-        List<User> users = userService.findUsersByBirthDateRange(fromDate, toDate);
-        return ResponseEntity.ok(users);
+    @Admission(RequestClass.BULK_READ)
+    public ResponseEntity<List<User>> searchUsersByBirthDateRange(@RequestParam("from") String fromDate, @RequestParam("to") String toDate,
+                                                                  @RequestParam(value = "page", required = false) Integer page,
+                                                                  @RequestParam(value = "size", required = false) Integer size) {
+        if (page == null && size == null) {
+            List<User> users = userService.findUsersByBirthDateRange(fromDate, toDate);
+            return ResponseEntity.ok(users);
+        }
+        return pageResponse(userService.findUsersByBirthDateRange(fromDate, toDate, pageRequest(page, size)));
     }
 
     @GetMapping
-    public ResponseEntity<List<User>> readAll() {
-        return ResponseEntity.ok(userService.findAll());
+    @Admission(RequestClass.BULK_READ)
+    public ResponseEntity<List<User>> readAll(@RequestParam(value = "page", required = false) Integer page,
+                                              @RequestParam(value = "size", required = false) Integer size) {
+        if (page == null && size == null) {
+            return ResponseEntity.ok(userService.findAll());
+        }
+        return pageResponse(userService.findAll(pageRequest(page, size)));
+    }
+
+    private static Pageable pageRequest(Integer page, Integer size) {
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageNumber < 0) {
+            throw new InvalidPageRequestException("Page must not be negative");
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(pageNumber, pageSize);
+    }
+
+    private static ResponseEntity<List<User>> pageResponse(Page<User> users) {
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(users.getTotalElements()))
+                .body(users.getContent());
     }
 }
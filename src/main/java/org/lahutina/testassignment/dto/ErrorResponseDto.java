@@ -0,0 +1,22 @@
+package org.lahutina.testassignment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Dto returned as the body of every error response.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ErrorResponseDto {
+    private int status;
+    private String error;
+    private String message;
+    private List<String> details;
+}
@@ -0,0 +1,25 @@
+package org.lahutina.testassignment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.lahutina.testassignment.export.ExportStatus;
+
+import java.time.Instant;
+
+/**
+ * Dto describing the state of a snapshot export job.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportJobDto {
+    private String id;
+    private ExportStatus status;
+    private long rowsExported;
+    private Instant createdAt;
+    private Instant completedAt;
+    private String error;
+}
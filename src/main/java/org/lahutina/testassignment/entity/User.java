@@ -22,8 +22,10 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
+    /**
+     * Assigned by the service from {@code ShardedIdGenerator}, so ids are unique across shards.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Email(message = "Invalid email format")
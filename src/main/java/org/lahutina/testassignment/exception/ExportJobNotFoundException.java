@@ -0,0 +1,10 @@
+package org.lahutina.testassignment.exception;
+
+/**
+ * Exception thrown when an export job does not exist or has expired.
+ */
+public class ExportJobNotFoundException extends RuntimeException {
+    public ExportJobNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,10 @@
+package org.lahutina.testassignment.exception;
+
+/**
+ * Exception thrown when the file of an export job is requested before the job completed.
+ */
+public class ExportNotReadyException extends RuntimeException {
+    public ExportNotReadyException(String message) {
+        super(message, null, false, false);
+    }
+}
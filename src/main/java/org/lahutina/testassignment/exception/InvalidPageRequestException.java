@@ -0,0 +1,11 @@
+package org.lahutina.testassignment.exception;
+
+/**
+ * Exception thrown when the requested page is out of the supported range.
+ * Reports bad client input, so it carries no stack trace.
+ */
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -2,9 +2,10 @@ package org.lahutina.testassignment.exception;
 
 /**
  * Exception thrown when the age of a user is invalid.
+ * Reports bad client input, so it carries no stack trace.
  */
 public class InvalidUserAgeException extends RuntimeException {
     public InvalidUserAgeException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
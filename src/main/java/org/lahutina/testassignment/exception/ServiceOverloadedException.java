@@ -0,0 +1,21 @@
+package org.lahutina.testassignment.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is shed because the service is overloaded.
+ * Thrown on the hot path under load, so it carries no stack trace.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
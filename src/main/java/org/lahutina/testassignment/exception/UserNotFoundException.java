@@ -2,9 +2,10 @@ package org.lahutina.testassignment.exception;
 
 /**
  * Exception thrown when a user is not found.
+ * Expected on every lookup of a missing id, so it carries no stack trace.
  */
 public class UserNotFoundException extends RuntimeException {
     public UserNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
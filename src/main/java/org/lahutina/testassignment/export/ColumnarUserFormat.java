@@ -0,0 +1,146 @@
+package org.lahutina.testassignment.export;
+
+import java.util.Arrays;
+
+/**
+ * Layout of the columnar user snapshot files written by {@link ColumnarUserWriter}.
+ * <pre>
+ * file      := MAGIC:int VERSION:byte rowGroup* END:int(0) totalRows:long
+ * rowGroup  := rowCount:int column{7}
+ * column    := rawLength:int compressedLength:int deflate(raw)
+ * </pre>
+ * Columns follow the {@code User} fields in order: id, email, firstName, lastName, birthDate, address, phoneNumber.
+ * Inside a column, numbers are varints ({@code zigzag} where they can be negative) and strings are a varint
+ * byte length followed by UTF-8 bytes.
+ * <ul>
+ *     <li>id: zigzag delta to the previous id of the row group.</li>
+ *     <li>Every other column starts with a null bitmap of {@code ceil(rowCount / 8)} bytes, bit set for null,
+ *     and holds values for non-null rows only.</li>
+ *     <li>firstName, lastName: a dictionary (varint size, then the distinct strings) and a dictionary index per row.</li>
+ *     <li>birthDate: zigzag epoch day.</li>
+ *     <li>email, address, phoneNumber: plain strings.</li>
+ * </ul>
+ * All integers outside columns are big-endian.
+ */
+final class ColumnarUserFormat {
+
+    /**
+     * "UCOL".
+     */
+    static final int MAGIC = 0x55434F4C;
+    static final byte VERSION = 1;
+    static final int COLUMN_COUNT = 7;
+
+    private ColumnarUserFormat() {
+    }
+
+    /**
+     * Growable byte buffer with the column value encodings.
+     */
+    static final class ColumnBuffer {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeZigzag(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeBytes(byte[] value) {
+            writeVarint(value.length);
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        void writeBitmap(boolean[] bits, int count) {
+            for (int i = 0; i < count; i += 8) {
+                int packed = 0;
+                for (int bit = 0; bit < 8 && i + bit < count; bit++) {
+                    if (bits[i + bit]) {
+                        packed |= 1 << bit;
+                    }
+                }
+                writeByte(packed);
+            }
+        }
+
+        byte[] array() {
+            return bytes;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Reads the values written by {@link ColumnBuffer}.
+     */
+    static final class ColumnCursor {
+        private final byte[] bytes;
+        private int position;
+
+        ColumnCursor(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = bytes[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+
+        long readZigzag() {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        byte[] readBytes() {
+            int length = (int) readVarint();
+            byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return value;
+        }
+
+        boolean[] readBitmap(int count) {
+            boolean[] bits = new boolean[count];
+            for (int i = 0; i < count; i += 8) {
+                int packed = bytes[position++];
+                for (int bit = 0; bit < 8 && i + bit < count; bit++) {
+                    bits[i + bit] = (packed & (1 << bit)) != 0;
+                }
+            }
+            return bits;
+        }
+    }
+}
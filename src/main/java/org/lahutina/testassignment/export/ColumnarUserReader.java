@@ -0,0 +1,137 @@
+package org.lahutina.testassignment.export;
+
+import org.lahutina.testassignment.entity.User;
+import org.lahutina.testassignment.export.ColumnarUserFormat.ColumnCursor;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads files written by {@link ColumnarUserWriter} back into users.
+ */
+public final class ColumnarUserReader {
+
+    private ColumnarUserReader() {
+    }
+
+    /**
+     * Reads every user of a snapshot file.
+     *
+     * @param path The snapshot file
+     * @return The users, in file order
+     * @throws IOException if the file cannot be read or is not a complete snapshot
+     */
+    public static List<User> readAll(Path path) throws IOException {
+        ByteBuffer file;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            return readAll(file, path);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            // The file or one of its columns ends early, e.g. an export that was cut off while writing.
+            throw new IOException("Truncated snapshot: " + path, ex);
+        }
+    }
+
+    private static List<User> readAll(ByteBuffer file, Path path) throws IOException {
+        if (file.getInt() != ColumnarUserFormat.MAGIC || file.get() != ColumnarUserFormat.VERSION) {
+            throw new IOException("Not a columnar user snapshot: " + path);
+        }
+        List<User> users = new ArrayList<>();
+        Inflater inflater = new Inflater();
+        try {
+            int rowCount;
+            while ((rowCount = file.getInt()) > 0) {
+                readRowGroup(file, rowCount, inflater, users);
+            }
+        } finally {
+            inflater.end();
+        }
+        if (file.getLong() != users.size()) {
+            throw new IOException("Row count mismatch in " + path);
+        }
+        return users;
+    }
+
+    private static void readRowGroup(ByteBuffer file, int rowCount, Inflater inflater, List<User> users) throws IOException {
+        List<User> group = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            group.add(new User());
+        }
+
+        ColumnCursor ids = nextColumn(file, inflater);
+        long id = 0;
+        for (User user : group) {
+            id += ids.readZigzag();
+            user.setId(id);
+        }
+
+        readPlainColumn(nextColumn(file, inflater), group, User::setEmail);
+        readDictionaryColumn(nextColumn(file, inflater), group, User::setFirstName);
+        readDictionaryColumn(nextColumn(file, inflater), group, User::setLastName);
+
+        ColumnCursor birthDates = nextColumn(file, inflater);
+        boolean[] nulls = birthDates.readBitmap(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            if (!nulls[i]) {
+                group.get(i).setBirthDate(LocalDate.ofEpochDay(birthDates.readZigzag()));
+            }
+        }
+
+        readPlainColumn(nextColumn(file, inflater), group, User::setAddress);
+        readPlainColumn(nextColumn(file, inflater), group, User::setPhoneNumber);
+        users.addAll(group);
+    }
+
+    private static void readPlainColumn(ColumnCursor column, List<User> group, BiConsumer<User, String> field) {
+        boolean[] nulls = column.readBitmap(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            if (!nulls[i]) {
+                field.accept(group.get(i), new String(column.readBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static void readDictionaryColumn(ColumnCursor column, List<User> group, BiConsumer<User, String> field) {
+        boolean[] nulls = column.readBitmap(group.size());
+        String[] dictionary = new String[(int) column.readVarint()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = new String(column.readBytes(), StandardCharsets.UTF_8);
+        }
+        for (int i = 0; i < group.size(); i++) {
+            if (!nulls[i]) {
+                field.accept(group.get(i), dictionary[(int) column.readVarint()]);
+            }
+        }
+    }
+
+    private static ColumnCursor nextColumn(ByteBuffer file, Inflater inflater) throws IOException {
+        int rawLength = file.getInt();
+        int compressedLength = file.getInt();
+        byte[] compressed = new byte[compressedLength];
+        file.get(compressed);
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            if (inflater.inflate(raw) != rawLength) {
+                throw new IOException("Truncated column");
+            }
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupt column", ex);
+        }
+        return new ColumnCursor(raw);
+    }
+}
@@ -0,0 +1,158 @@
+package org.lahutina.testassignment.export;
+
+import org.lahutina.testassignment.entity.User;
+import org.lahutina.testassignment.export.ColumnarUserFormat.ColumnBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+
+/**
+ * Writes users to a file in the {@link ColumnarUserFormat}, one row group per {@link #writeRowGroup} call.
+ * The file is only complete once {@link #finish()} has written the trailer; the caller owns the channel.
+ */
+public class ColumnarUserWriter {
+
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater();
+    private final ColumnBuffer column = new ColumnBuffer();
+    private byte[] compressed = new byte[1024];
+    private long rowCount;
+
+    public ColumnarUserWriter(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 1);
+        header.putInt(ColumnarUserFormat.MAGIC).put(ColumnarUserFormat.VERSION).flip();
+        writeFully(header);
+    }
+
+    /**
+     * Writes the users as one row group.
+     *
+     * @param users The users to write; an empty list writes nothing
+     * @throws IOException if the file cannot be written
+     */
+    public void writeRowGroup(List<User> users) throws IOException {
+        if (users.isEmpty()) {
+            return;
+        }
+        writeFully(ByteBuffer.allocate(Integer.BYTES).putInt(users.size()).flip());
+
+        long previousId = 0;
+        for (User user : users) {
+            column.writeZigzag(user.getId() - previousId);
+            previousId = user.getId();
+        }
+        flushColumn();
+
+        writePlainColumn(users, User::getEmail);
+        writeDictionaryColumn(users, User::getFirstName);
+        writeDictionaryColumn(users, User::getLastName);
+
+        writeNulls(users, User::getBirthDate);
+        for (User user : users) {
+            LocalDate birthDate = user.getBirthDate();
+            if (birthDate != null) {
+                column.writeZigzag(birthDate.toEpochDay());
+            }
+        }
+        flushColumn();
+
+        writePlainColumn(users, User::getAddress);
+        writePlainColumn(users, User::getPhoneNumber);
+        rowCount += users.size();
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the trailer and flushes the file to disk. No row groups can be written afterwards.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void finish() throws IOException {
+        try {
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES);
+            trailer.putInt(0).putLong(rowCount).flip();
+            writeFully(trailer);
+            channel.force(false);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writePlainColumn(List<User> users, Function<User, String> field) throws IOException {
+        writeNulls(users, field);
+        for (User user : users) {
+            String value = field.apply(user);
+            if (value != null) {
+                column.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        flushColumn();
+    }
+
+    private void writeDictionaryColumn(List<User> users, Function<User, String> field) throws IOException {
+        writeNulls(users, field);
+        Map<String, Integer> dictionary = new HashMap<>();
+        int[] indexes = new int[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            String value = field.apply(users.get(i));
+            indexes[i] = value == null ? -1 : dictionary.computeIfAbsent(value, key -> dictionary.size());
+        }
+        String[] entries = new String[dictionary.size()];
+        dictionary.forEach((value, index) -> entries[index] = value);
+        column.writeVarint(entries.length);
+        for (String entry : entries) {
+            column.writeBytes(entry.getBytes(StandardCharsets.UTF_8));
+        }
+        for (int index : indexes) {
+            if (index >= 0) {
+                column.writeVarint(index);
+            }
+        }
+        flushColumn();
+    }
+
+    private void writeNulls(List<User> users, Function<User, ?> field) {
+        boolean[] nulls = new boolean[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            nulls[i] = field.apply(users.get(i)) == null;
+        }
+        column.writeBitmap(nulls, nulls.length);
+    }
+
+    private void flushColumn() throws IOException {
+        deflater.reset();
+        deflater.setInput(column.array(), 0, column.size());
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES);
+        header.putInt(column.size()).putInt(length).flip();
+        writeFully(header);
+        writeFully(ByteBuffer.wrap(compressed, 0, length));
+        column.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.lahutina.testassignment.export;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * State of one snapshot export, updated by the export worker and read by status requests.
+ */
+@Getter
+public class ExportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Instant createdAt = Instant.now();
+    private volatile ExportStatus status = ExportStatus.QUEUED;
+    private volatile long rowsExported;
+    private volatile Instant completedAt;
+    private volatile Path file;
+    private volatile String error;
+
+    public boolean isFinished() {
+        return status == ExportStatus.COMPLETED || status == ExportStatus.FAILED;
+    }
+
+    public void start() {
+        status = ExportStatus.RUNNING;
+    }
+
+    public void addRows(int rows) {
+        rowsExported += rows;
+    }
+
+    public void complete(Path file) {
+        this.file = file;
+        this.completedAt = Instant.now();
+        this.status = ExportStatus.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.completedAt = Instant.now();
+        this.status = ExportStatus.FAILED;
+    }
+}
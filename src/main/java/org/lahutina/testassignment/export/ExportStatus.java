@@ -0,0 +1,11 @@
+package org.lahutina.testassignment.export;
+
+/**
+ * Lifecycle of an {@link ExportJob}.
+ */
+public enum ExportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,18 @@
+package org.lahutina.testassignment.repository;
+
+import org.lahutina.testassignment.entity.User;
+
+/**
+ * Repository fragment for inserting users whose id is assigned up front.
+ */
+public interface UserInsertRepository {
+
+    /**
+     * Inserts a new user with a single INSERT.
+     * {@code save} would treat a user that already has an id as existing and select it before inserting.
+     *
+     * @param user The new user, with its id set
+     * @return The inserted user
+     */
+    User insert(User user);
+}
@@ -0,0 +1,22 @@
+package org.lahutina.testassignment.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.lahutina.testassignment.entity.User;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of UserInsertRepository, picked up by Spring Data through the {@code Impl} suffix.
+ */
+class UserInsertRepositoryImpl implements UserInsertRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public User insert(User user) {
+        entityManager.persist(user);
+        return user;
+    }
+}
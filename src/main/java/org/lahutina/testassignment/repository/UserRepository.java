@@ -1,6 +1,9 @@
 package org.lahutina.testassignment.repository;
 
 import org.lahutina.testassignment.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,9 +14,18 @@ import java.util.List;
 
 /**
  * Repository interface for User entity.
+ * Every call runs against a single shard, see {@code ShardRouter}.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    @Query("SELECT u FROM User u WHERE u.birthDate BETWEEN :fromDate AND :toDate")
+public interface UserRepository extends JpaRepository<User, Long>, UserInsertRepository {
+    @Query("SELECT u FROM User u WHERE u.birthDate BETWEEN :fromDate AND :toDate ORDER BY u.birthDate, u.id")
     List<User> findUsersByBirthDateRange(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT u FROM User u WHERE u.birthDate BETWEEN :fromDate AND :toDate")
+    Page<User> findUsersByBirthDateRange(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate, Pageable pageable);
+
+    /**
+     * Keyset pagination: pass the last id of the previous slice to get the next one.
+     */
+    Slice<User> findByIdGreaterThan(Long id, Pageable pageable);
 }
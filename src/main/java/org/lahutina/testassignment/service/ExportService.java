@@ -0,0 +1,22 @@
+package org.lahutina.testassignment.service;
+
+import org.lahutina.testassignment.export.ExportJob;
+
+import java.nio.file.Path;
+
+/**
+ * Service interface for asynchronous snapshot exports of all users.
+ * Jobs and their files are local to the instance that started them, so with several instances
+ * the status and download requests must be routed to that same instance (sticky routing).
+ */
+public interface ExportService {
+
+    ExportJob startExport();
+
+    ExportJob getJob(String jobId);
+
+    Path getFile(String jobId);
+
+    void removeExpiredJobs();
+
+}
@@ -0,0 +1,233 @@
+package org.lahutina.testassignment.service;
+
+import jakarta.annotation.PreDestroy;
+import org.lahutina.testassignment.admission.AdmissionGate;
+import org.lahutina.testassignment.config.ExportProperties;
+import org.lahutina.testassignment.entity.User;
+import org.lahutina.testassignment.exception.ExportJobNotFoundException;
+import org.lahutina.testassignment.exception.ExportNotReadyException;
+import org.lahutina.testassignment.exception.ServiceOverloadedException;
+import org.lahutina.testassignment.export.ColumnarUserWriter;
+import org.lahutina.testassignment.export.ExportJob;
+import org.lahutina.testassignment.export.ExportStatus;
+import org.lahutina.testassignment.repository.UserRepository;
+import org.lahutina.testassignment.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of ExportService.
+ * Jobs run on a small bounded pool, walk every shard with keyset pagination and pause between pages,
+ * and longer while admission control reports pressure, so foreground requests keep the database.
+ * Expired jobs and their files are removed on a schedule.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+    private final ExportProperties properties;
+    private final ObjectProvider<AdmissionGate> admissionGate;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public ExportServiceImpl(UserRepository userRepository, ShardRouter shardRouter, ExportProperties properties,
+                             ObjectProvider<AdmissionGate> admissionGate) {
+        this.userRepository = userRepository;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.admissionGate = admissionGate;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getMaxConcurrentJobs(), properties.getMaxConcurrentJobs(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getMaxQueuedJobs()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-export-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues a snapshot export of all users.
+     *
+     * @return The queued job
+     * @throws ServiceOverloadedException if too many exports are already running or queued
+     */
+    @Override
+    public ExportJob startExport() {
+        ExportJob job = new ExportJob();
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.getId());
+            throw new ServiceOverloadedException("Too many exports in progress, retry later", properties.getRetryAfter());
+        }
+        logger.info("Export {} queued", job.getId());
+        return job;
+    }
+
+    /**
+     * Finds an export job.
+     *
+     * @param jobId The id of the job
+     * @return The job
+     * @throws ExportJobNotFoundException if the job does not exist or has expired
+     */
+    @Override
+    public ExportJob getJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ExportJobNotFoundException("Export not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Returns the snapshot file of a completed export job.
+     *
+     * @param jobId The id of the job
+     * @return The snapshot file
+     * @throws ExportJobNotFoundException if the job does not exist or has expired
+     * @throws ExportNotReadyException    if the job has not completed successfully
+     */
+    @Override
+    public Path getFile(String jobId) {
+        ExportJob job = getJob(jobId);
+        if (job.getStatus() != ExportStatus.COMPLETED) {
+            throw new ExportNotReadyException("Export " + jobId + " is " + job.getStatus());
+        }
+        return job.getFile();
+    }
+
+    /**
+     * Removes jobs finished longer than the retention ago together with their files, and snapshot
+     * files left behind by jobs this instance no longer knows about, e.g. from before a restart.
+     */
+    @Override
+    public void removeExpiredJobs() {
+        Instant expiry = Instant.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.getCompletedAt().isAfter(expiry)) {
+                return false;
+            }
+            if (job.getFile() != null) {
+                delete(job.getFile());
+            }
+            return true;
+        });
+        if (!Files.isDirectory(properties.getDirectory())) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(properties.getDirectory(), "users-*.ucol*")) {
+            for (Path file : files) {
+                if (!belongsToJob(file) && Files.getLastModifiedTime(file).toInstant().isBefore(expiry)) {
+                    delete(file);
+                }
+            }
+        } catch (IOException ex) {
+            logger.warn("Could not clean up {}", properties.getDirectory(), ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ExportJob job) {
+        job.start();
+        logger.info("Export {} started", job.getId());
+        Path file = properties.getDirectory().resolve("users-" + job.getId() + ".ucol");
+        Path partFile = file.resolveSibling(file.getFileName() + ".part");
+        try {
+            Files.createDirectories(properties.getDirectory());
+            try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ColumnarUserWriter writer = new ColumnarUserWriter(channel);
+                for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                    exportShard(shard, writer, job);
+                }
+                writer.finish();
+            }
+            Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE);
+            job.complete(file);
+            logger.info("Export {} completed: {} users", job.getId(), job.getRowsExported());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            fail(job, partFile, "Export interrupted");
+        } catch (Exception ex) {
+            logger.error("Export {} failed", job.getId(), ex);
+            fail(job, partFile, "Export failed: " + ex.getMessage());
+        }
+    }
+
+    private void exportShard(int shard, ColumnarUserWriter writer, ExportJob job) throws IOException, InterruptedException {
+        long lastId = Long.MIN_VALUE;
+        Slice<User> page;
+        do {
+            throttle();
+            Long after = lastId;
+            Pageable next = PageRequest.of(0, properties.getPageSize(), BY_ID);
+            page = shardRouter.onShard(shard, () -> userRepository.findByIdGreaterThan(after, next));
+            List<User> users = page.getContent();
+            writer.writeRowGroup(users);
+            job.addRows(users.size());
+            if (!users.isEmpty()) {
+                lastId = users.get(users.size() - 1).getId();
+            }
+        } while (page.hasNext());
+    }
+
+    private void throttle() throws InterruptedException {
+        Thread.sleep(properties.getPageDelay().toMillis());
+        AdmissionGate gate = admissionGate.getIfAvailable();
+        while (gate != null && gate.isUnderPressure()) {
+            Thread.sleep(properties.getPressureBackoff().toMillis());
+        }
+    }
+
+    private void fail(ExportJob job, Path partFile, String error) {
+        job.fail(error);
+        delete(partFile);
+    }
+
+    private boolean belongsToJob(Path file) {
+        String name = file.getFileName().toString();
+        return jobs.keySet().stream().anyMatch(jobId -> name.startsWith("users-" + jobId + "."));
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            logger.warn("Could not delete {}", file, ex);
+        }
+    }
+}
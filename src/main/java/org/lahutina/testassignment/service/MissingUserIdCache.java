@@ -0,0 +1,46 @@
+package org.lahutina.testassignment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived memory of user ids that were looked up and do not exist,
+ * so repeated lookups of a missing id are answered without a database round trip.
+ */
+@Component
+public class MissingUserIdCache {
+
+    private final Cache<Long, Boolean> missingIds;
+
+    public MissingUserIdCache(@Value("${user.missing-id-cache.ttl:5s}") Duration ttl,
+                              @Value("${user.missing-id-cache.max-size:100000}") long maxSize) {
+        this.missingIds = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public boolean isMissing(Long id) {
+        return missingIds.getIfPresent(id) != null;
+    }
+
+    public void markMissing(Long id) {
+        missingIds.put(id, Boolean.TRUE);
+    }
+
+    /**
+     * Forgets that an id is missing. Ids from {@code ShardedIdGenerator} are fresh, so a newly created user
+     * is never in the cache; this only matters for ids that existed before, such as restored legacy ids.
+     */
+    public void invalidate(Long id) {
+        missingIds.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        missingIds.invalidateAll();
+    }
+}
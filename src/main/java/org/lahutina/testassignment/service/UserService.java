@@ -2,6 +2,8 @@ package org.lahutina.testassignment.service;
 
 import org.lahutina.testassignment.dto.UserFullNameDto;
 import org.lahutina.testassignment.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -22,6 +24,10 @@ public interface UserService {
 
     List<User> findAll();
 
+    Page<User> findAll(Pageable pageable);
+
     List<User> findUsersByBirthDateRange(String fromDate, String toDate);
 
+    Page<User> findUsersByBirthDateRange(String fromDate, String toDate, Pageable pageable);
+
 }
@@ -3,21 +3,34 @@ package org.lahutina.testassignment.service;
 import lombok.RequiredArgsConstructor;
 import org.lahutina.testassignment.dto.UserFullNameDto;
 import org.lahutina.testassignment.entity.User;
+import org.lahutina.testassignment.exception.InvalidPageRequestException;
 import org.lahutina.testassignment.exception.InvalidUserAgeException;
 import org.lahutina.testassignment.exception.UserNotFoundException;
 import org.lahutina.testassignment.repository.UserRepository;
+import org.lahutina.testassignment.shard.ShardResults;
+import org.lahutina.testassignment.shard.ShardRouter;
+import org.lahutina.testassignment.shard.ShardedIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Implementation of UserService.
+ * Users are spread over shards: point operations go to the shard encoded in the user id,
+ * listings query all shards in parallel and merge the sorted results.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,13 +38,29 @@ public class UserServiceImpl implements UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
+    /**
+     * Deepest row a page may reach: every shard returns all rows up to the end of the page.
+     */
+    static final long MAX_PAGE_END = 10_000;
+
+    private static final Sort BY_ID = Sort.by("id");
+    private static final Sort BY_BIRTH_DATE = Sort.by("birthDate", "id");
+    private static final Comparator<User> ID_ORDER = Comparator.comparing(User::getId);
+    private static final Comparator<User> BIRTH_DATE_ORDER = Comparator
+            .comparing(User::getBirthDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(User::getId);
+
     @Value("${user.min.age}")
     private int minimumAge;
 
     private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+    private final ShardedIdGenerator idGenerator;
+    private final MissingUserIdCache missingUserIdCache;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Creates a new user.
+     * Creates a new user on the shard chosen by the user's email.
      *
      * @param user The user to create/register
      * @return The created/registered user
@@ -41,7 +70,10 @@ public class UserServiceImpl implements UserService {
     public User create(User user) {
         logger.info("Creating user: {}", user);
         validateUserAge(user.getBirthDate());
-        User createdUser = userRepository.save(user);
+        int shard = shardRouter.shardForEmail(user.getEmail());
+        user.setId(idGenerator.nextId(shard));
+        User createdUser = shardRouter.onShard(shard, () -> userRepository.insert(user));
+        missingUserIdCache.invalidate(createdUser.getId());
         logger.info("User created: {}", createdUser);
         return createdUser;
     }
@@ -58,20 +90,23 @@ public class UserServiceImpl implements UserService {
     @Override
     public User updateFullName(Long id, UserFullNameDto userFullNameDto) {
         logger.info("Updating full name of user with ID {}: {}", id, userFullNameDto);
-        User user = findById(id);
-        if (userFullNameDto.getFirstName() != null && !userFullNameDto.getFirstName().isEmpty()) {
-            user.setFirstName(userFullNameDto.getFirstName());
-        }
-        if (userFullNameDto.getLastName() != null && !userFullNameDto.getLastName().isEmpty()) {
-            user.setLastName(userFullNameDto.getLastName());
-        }
-        User updatedUser = userRepository.save(user);
+        User updatedUser = inUserShardTransaction(id, () -> {
+            User user = findById(id);
+            if (userFullNameDto.getFirstName() != null && !userFullNameDto.getFirstName().isEmpty()) {
+                user.setFirstName(userFullNameDto.getFirstName());
+            }
+            if (userFullNameDto.getLastName() != null && !userFullNameDto.getLastName().isEmpty()) {
+                user.setLastName(userFullNameDto.getLastName());
+            }
+            return userRepository.save(user);
+        });
         logger.info("Full name updated: {}", updatedUser);
         return updatedUser;
     }
 
     /**
      * Updates a user's information.
+     * The user stays on its shard even if the email changes.
      *
      * @param id   The id of the user to update
      * @param user The updated user information
@@ -83,9 +118,11 @@ public class UserServiceImpl implements UserService {
     public User update(Long id, User user) {
         logger.info("Updating user with ID {}: {}", id, user);
         validateUserAge(user.getBirthDate());
-        User existingUser = findById(id);
-        BeanUtils.copyProperties(user, existingUser, "id");
-        User updatedUser = userRepository.save(existingUser);
+        User updatedUser = inUserShardTransaction(id, () -> {
+            User existingUser = findById(id);
+            BeanUtils.copyProperties(user, existingUser, "id");
+            return userRepository.save(existingUser);
+        });
         logger.info("User updated: {}", updatedUser);
         return updatedUser;
     }
@@ -100,8 +137,11 @@ public class UserServiceImpl implements UserService {
     @Override
     public boolean delete(Long id) {
         logger.info("Deleting user with ID {}", id);
-        User user = findById(id);
-        userRepository.delete(user);
+        inUserShardTransaction(id, () -> {
+            userRepository.delete(findById(id));
+            return null;
+        });
+        missingUserIdCache.markMissing(id);
         logger.info("User deleted successfully");
         return true;
     }
@@ -111,18 +151,38 @@ public class UserServiceImpl implements UserService {
      *
      * @param fromDate The start date of the birthdate range
      * @param toDate   The end date of the birthdate range
-     * @return A list of users whose birthdays fall within the specified range
+     * @return A list of users whose birthdays fall within the specified range, ordered by birthdate
      */
     @Override
     public List<User> findUsersByBirthDateRange(String fromDate, String toDate) {
         logger.info("Retrieving users by birthdate range: {} to {}", fromDate, toDate);
         LocalDate from = LocalDate.parse(fromDate);
         LocalDate to = LocalDate.parse(toDate);
-        return userRepository.findUsersByBirthDateRange(from, to);
+        List<List<User>> shardResults = shardRouter.onAllShards(() -> userRepository.findUsersByBirthDateRange(from, to));
+        return ShardResults.merge(shardResults, BIRTH_DATE_ORDER);
+    }
+
+    /**
+     * Finds a page of users within the specified birthdate range, ordered by birthdate.
+     *
+     * @param fromDate The start date of the birthdate range
+     * @param toDate   The end date of the birthdate range
+     * @param pageable The page to return; its sort is ignored
+     * @return The requested page of users
+     */
+    @Override
+    public Page<User> findUsersByBirthDateRange(String fromDate, String toDate, Pageable pageable) {
+        logger.info("Retrieving users by birthdate range: {} to {}, page {}", fromDate, toDate, pageable);
+        LocalDate from = LocalDate.parse(fromDate);
+        LocalDate to = LocalDate.parse(toDate);
+        Pageable shardPage = shardPage(pageable, BY_BIRTH_DATE);
+        List<Page<User>> shardPages = shardRouter.onAllShards(() -> userRepository.findUsersByBirthDateRange(from, to, shardPage));
+        return ShardResults.mergePages(shardPages, pageable, BIRTH_DATE_ORDER);
     }
 
     /**
      * Finds a user by ID.
+     * Ids found missing are remembered for a short time and rejected without querying the shard.
      *
      * @param id The id of the user to find
      * @return The found user
@@ -130,10 +190,14 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public User findById(Long id) {
-        Optional<User> userOptional = userRepository.findById(id);
+        if (missingUserIdCache.isMissing(id)) {
+            throw new UserNotFoundException("User not found with id: " + id);
+        }
+        Optional<User> userOptional = onUserShard(id, () -> userRepository.findById(id));
         if (userOptional.isPresent()) {
             return userOptional.get();
         } else {
+            missingUserIdCache.markMissing(id);
             throw new UserNotFoundException("User not found with id: " + id);
         }
     }
@@ -141,12 +205,50 @@ public class UserServiceImpl implements UserService {
     /**
      * Retrieves all users.
      *
-     * @return List of all users
+     * @return List of all users, ordered by id
      */
     @Override
     public List<User> findAll() {
         logger.info("Retrieving all users");
-        return userRepository.findAll();
+        List<List<User>> shardResults = shardRouter.onAllShards(() -> userRepository.findAll(BY_ID));
+        return ShardResults.merge(shardResults, ID_ORDER);
+    }
+
+    /**
+     * Retrieves a page of users, ordered by id.
+     *
+     * @param pageable The page to return; its sort is ignored
+     * @return The requested page of users
+     */
+    @Override
+    public Page<User> findAll(Pageable pageable) {
+        logger.info("Retrieving users, page {}", pageable);
+        Pageable shardPage = shardPage(pageable, BY_ID);
+        List<Page<User>> shardPages = shardRouter.onAllShards(() -> userRepository.findAll(shardPage));
+        return ShardResults.mergePages(shardPages, pageable, ID_ORDER);
+    }
+
+    private <T> T onUserShard(Long id, Supplier<T> action) {
+        return shardRouter.onShard(shardRouter.shardForId(id), action);
+    }
+
+    /**
+     * Runs a read-modify-write in one transaction on the user's shard, so the entity stays managed
+     * and saving it needs no extra select. The shard is chosen before the transaction takes a connection.
+     */
+    private <T> T inUserShardTransaction(Long id, Supplier<T> action) {
+        return onUserShard(id, () -> transactionTemplate.execute(status -> action.get()));
+    }
+
+    /**
+     * Any shard may hold the whole requested page, so every shard returns everything up to its end.
+     */
+    private static Pageable shardPage(Pageable pageable, Sort sort) {
+        long pageEnd = pageable.getOffset() + pageable.getPageSize();
+        if (pageEnd > MAX_PAGE_END) {
+            throw new InvalidPageRequestException("Pages may not reach beyond row " + MAX_PAGE_END);
+        }
+        return PageRequest.of(0, (int) pageEnd, sort);
     }
 
     private void validateUserAge(LocalDate birthDate) {
@@ -0,0 +1,24 @@
+package org.lahutina.testassignment.shard;
+
+/**
+ * Holds the shard that data access on the current thread is routed to.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static Integer current() {
+        return CURRENT_SHARD.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(shard);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.lahutina.testassignment.shard;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges per-shard query results that are already sorted into a single sorted result.
+ */
+public final class ShardResults {
+
+    private ShardResults() {
+    }
+
+    /**
+     * Merges sorted lists into one sorted list.
+     *
+     * @param shardResults The sorted results of every shard
+     * @param order        The order every shard result is sorted by
+     * @return All elements in the given order
+     */
+    public static <T> List<T> merge(List<? extends List<T>> shardResults, Comparator<? super T> order) {
+        return merge(shardResults, order, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Merges sorted pages, each holding the first {@code offset + pageSize} elements of its shard,
+     * into the requested page of the global result.
+     *
+     * @param shardPages The sorted pages of every shard
+     * @param pageable   The page requested by the caller
+     * @param order      The order every shard page is sorted by
+     * @return The requested page, with the total number of elements across all shards
+     */
+    public static <T> Page<T> mergePages(List<? extends Page<T>> shardPages, Pageable pageable, Comparator<? super T> order) {
+        List<List<T>> contents = new ArrayList<>(shardPages.size());
+        long total = 0;
+        for (Page<T> page : shardPages) {
+            contents.add(page.getContent());
+            total += page.getTotalElements();
+        }
+        List<T> content = merge(contents, order, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static <T> List<T> merge(List<? extends List<T>> shardResults, Comparator<? super T> order, long skip, int limit) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, shardResults.size()),
+                (left, right) -> order.compare(left.value, right.value));
+        for (List<T> result : shardResults) {
+            Iterator<T> iterator = result.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+        List<T> merged = new ArrayList<>();
+        long skipped = 0;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                merged.add(head.value);
+            }
+            if (head.rest.hasNext()) {
+                heads.add(new Head<>(head.rest.next(), head.rest));
+            }
+        }
+        return merged;
+    }
+
+    private record Head<T>(T value, Iterator<T> rest) {
+    }
+}
@@ -0,0 +1,115 @@
+package org.lahutina.testassignment.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard a user lives on and runs data access against one or all shards.
+ */
+public class ShardRouter implements AutoCloseable {
+
+    private final int shardCount;
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(int shardCount, int scatterThreads) {
+        if (shardCount < 1 || shardCount > ShardedIdGenerator.MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + ShardedIdGenerator.MAX_SHARDS);
+        }
+        this.shardCount = shardCount;
+        this.scatterExecutor = shardCount > 1 ? Executors.newFixedThreadPool(scatterThreads, scatterThreadFactory()) : null;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Returns the shard holding the user with the given id.
+     *
+     * @param id The user id
+     * @return The shard number
+     */
+    public int shardForId(long id) {
+        return Math.floorMod(ShardedIdGenerator.shardOf(id), shardCount);
+    }
+
+    /**
+     * Returns the shard a new user with the given email is placed on.
+     *
+     * @param email The user email
+     * @return The shard number
+     */
+    public int shardForEmail(String email) {
+        if (email == null) {
+            return 0;
+        }
+        return Math.floorMod(email.toLowerCase(Locale.ROOT).hashCode(), shardCount);
+    }
+
+    /**
+     * Runs the action with all data access on the current thread routed to the given shard.
+     *
+     * @param shard  The shard number
+     * @param action The data access to run
+     * @return The result of the action
+     */
+    public <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    /**
+     * Runs the action against every shard in parallel.
+     *
+     * @param action The data access to run
+     * @return The results, indexed by shard number
+     */
+    public <T> List<T> onAllShards(Supplier<T> action) {
+        if (shardCount == 1) {
+            return List.of(onShard(0, action));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> onShard(target, action), scatterExecutor));
+        }
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdown();
+        }
+    }
+
+    private static ThreadFactory scatterThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package org.lahutina.testassignment.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource that hands out connections of the shard selected by {@link ShardRouter}.
+ * Connections obtained outside of a shard scope come from shard 0.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < this.shards.size(); i++) {
+            targets.put(i, this.shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(this.shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Returns the physical data sources, indexed by shard number.
+     *
+     * @return The shard data sources
+     */
+    public List<DataSource> getShards() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.lahutina.testassignment.shard;
+
+import java.time.Instant;
+
+/**
+ * Generates globally unique, time-ordered user ids that carry the shard they were created on.
+ * <p>
+ * Layout of the 63 usable bits: 41 bits of milliseconds since {@link #EPOCH}, 8 bits of shard,
+ * 4 bits of worker (application instance) and 10 bits of per-millisecond sequence.
+ * Ids issued by the database before sharding was introduced are below {@link #MIN_GENERATED_ID}
+ * and resolve to shard 0.
+ */
+public class ShardedIdGenerator {
+
+    /**
+     * 2024-01-01T00:00:00Z.
+     */
+    static final long EPOCH = 1704067200000L;
+
+    /**
+     * 2026-01-01T00:00:00Z, before sharding was rolled out. Generated ids never carry an earlier timestamp.
+     */
+    static final long ROLLOUT = 1767225600000L;
+
+    static final int SEQUENCE_BITS = 10;
+    static final int WORKER_BITS = 4;
+    static final int SHARD_BITS = 8;
+
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+    public static final int MAX_WORKERS = 1 << WORKER_BITS;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int WORKER_SHIFT = SEQUENCE_BITS;
+    private static final int SHARD_SHIFT = SEQUENCE_BITS + WORKER_BITS;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_BITS + SHARD_BITS;
+
+    /**
+     * Smallest id the generator issues, about 2^58. Auto-increment ids from before sharding are far below it.
+     */
+    public static final long MIN_GENERATED_ID = (ROLLOUT - EPOCH) << TIMESTAMP_SHIFT;
+
+    private final long workerId;
+
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    public ShardedIdGenerator(int workerId) {
+        if (workerId < 0 || workerId >= MAX_WORKERS) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + (MAX_WORKERS - 1));
+        }
+        this.workerId = workerId;
+    }
+
+    /**
+     * Generates the next id for a user stored on the given shard.
+     *
+     * @param shard The shard the user will be stored on
+     * @return A new unique id
+     */
+    public synchronized long nextId(int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard must be between 0 and " + (MAX_SHARDS - 1));
+        }
+        // Never go back in time, even if the wall clock does.
+        long timestamp = Math.max(System.currentTimeMillis() - EPOCH, lastTimestamp);
+        if (timestamp < ROLLOUT - EPOCH) {
+            throw new IllegalStateException("System clock is before " + Instant.ofEpochMilli(ROLLOUT)
+                    + ", generated ids would be taken for legacy ids");
+        }
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                timestamp = waitForNextMillis(timestamp);
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+        return timestamp << TIMESTAMP_SHIFT
+                | (long) shard << SHARD_SHIFT
+                | workerId << WORKER_SHIFT
+                | sequence;
+    }
+
+    /**
+     * Extracts the shard an id was generated for.
+     *
+     * @param id The user id
+     * @return The shard encoded in the id, or 0 for a legacy id
+     */
+    public static int shardOf(long id) {
+        if (isLegacy(id)) {
+            return 0;
+        }
+        return (int) ((id >>> SHARD_SHIFT) & (MAX_SHARDS - 1));
+    }
+
+    /**
+     * Checks whether an id was issued by the database's auto-increment before sharding was introduced.
+     * Generated ids carry a timestamp at or after {@link #ROLLOUT}, so any smaller id is a legacy id.
+     *
+     * @param id The user id
+     * @return True for a legacy id
+     */
+    public static boolean isLegacy(long id) {
+        return id < MIN_GENERATED_ID;
+    }
+
+    private long waitForNextMillis(long timestamp) {
+        long next = System.currentTimeMillis() - EPOCH;
+        while (next <= timestamp) {
+            Thread.onSpinWait();
+            next = System.currentTimeMillis() - EPOCH;
+        }
+        return next;
+    }
+}
@@ -0,0 +1,14 @@
+-- Users table with ids assigned by ShardedIdGenerator, so the id column has no AUTO_INCREMENT.
+-- Databases created earlier by Hibernate (ddl-auto=update, id BIGINT NOT NULL AUTO_INCREMENT) keep their table:
+-- IF NOT EXISTS skips it, and its AUTO_INCREMENT is harmless because every insert supplies the id.
+-- Shards are baselined below this version, so this script runs on every shard, whatever else its schema holds.
+CREATE TABLE IF NOT EXISTS users
+(
+    id           BIGINT NOT NULL PRIMARY KEY,
+    email        VARCHAR(255),
+    first_name   VARCHAR(255),
+    last_name    VARCHAR(255),
+    birth_date   DATE,
+    address      VARCHAR(255),
+    phone_number VARCHAR(255)
+);
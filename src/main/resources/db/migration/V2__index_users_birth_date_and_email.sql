@@ -0,0 +1,5 @@
+-- Birth date range search, ordered by birth date then id.
+CREATE INDEX idx_users_birth_date ON users (birth_date, id);
+
+-- Lookups by email.
+CREATE INDEX idx_users_email ON users (email);
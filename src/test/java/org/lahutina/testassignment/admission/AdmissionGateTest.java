@@ -0,0 +1,123 @@
+package org.lahutina.testassignment.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionGateTest {
+
+    private static final Duration TARGET_LATENCY = Duration.ofMillis(100);
+
+    private AdaptiveLimiter pointReads;
+    private AdaptiveLimiter bulkReads;
+    private AdmissionGate gate;
+
+    @BeforeEach
+    void setUp() {
+        pointReads = new AdaptiveLimiter(10, 2, 20, TARGET_LATENCY);
+        bulkReads = new AdaptiveLimiter(4, 1, 8, TARGET_LATENCY);
+        Map<RequestClass, AdaptiveLimiter> limiters = new EnumMap<>(RequestClass.class);
+        limiters.put(RequestClass.POINT_READ, pointReads);
+        limiters.put(RequestClass.WRITE, new AdaptiveLimiter(10, 2, 20, TARGET_LATENCY));
+        limiters.put(RequestClass.BULK_READ, bulkReads);
+        limiters.put(RequestClass.DOWNLOAD, new AdaptiveLimiter(2, 2, 2, null));
+        limiters.put(RequestClass.EXPORT, new AdaptiveLimiter(2, 2, 2, null));
+        gate = new AdmissionGate(limiters, 0.8);
+    }
+
+    @Test
+    void testRejectsAboveLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(gate.tryAcquire(RequestClass.BULK_READ));
+        }
+
+        assertNull(gate.tryAcquire(RequestClass.BULK_READ));
+        assertEquals(1, bulkReads.getRejected());
+    }
+
+    @Test
+    void testShedsBulkReadsWhenPointReadsAreBusy() {
+        for (int i = 0; i < 8; i++) {
+            assertNotNull(gate.tryAcquire(RequestClass.POINT_READ));
+        }
+
+        assertNull(gate.tryAcquire(RequestClass.BULK_READ));
+        assertNotNull(gate.tryAcquire(RequestClass.POINT_READ));
+        assertNotNull(gate.tryAcquire(RequestClass.WRITE));
+    }
+
+    @Test
+    void testSlowRequestsShrinkLimit() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 2, 20, Duration.ofMillis(1));
+        long start = System.nanoTime();
+        assertTrue(limiter.tryAcquire());
+
+        Thread.sleep(5);
+        limiter.release(start, false);
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void testFixedLimitIgnoresSlowRequests() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 2, 2, null);
+        long start = System.nanoTime();
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        Thread.sleep(5);
+        limiter.release(start, false);
+        limiter.release(start, true);
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testRequestsInFlightTogetherShrinkLimitOnce() {
+        long start = System.nanoTime();
+        assertTrue(pointReads.tryAcquire());
+        assertTrue(pointReads.tryAcquire());
+
+        pointReads.release(start, true);
+        pointReads.release(start, true);
+
+        assertEquals(9, pointReads.getLimit());
+    }
+
+    @Test
+    void testFastRequestsUnderLoadGrowLimit() {
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(pointReads.tryAcquire());
+            }
+            for (int i = 0; i < 10; i++) {
+                pointReads.release(System.nanoTime(), false);
+            }
+        }
+
+        assertTrue(pointReads.getLimit() > 10);
+        assertTrue(pointReads.getLimit() <= 20);
+    }
+
+    @Test
+    void testFastRequestsWithoutLoadKeepLimit() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(pointReads.tryAcquire());
+            pointReads.release(System.nanoTime(), false);
+        }
+
+        assertEquals(10, pointReads.getLimit());
+        assertFalse(pointReads.isSaturated(0.8));
+    }
+}
@@ -0,0 +1,126 @@
+package org.lahutina.testassignment.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.lahutina.testassignment.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares serializing a user list as JSON, CBOR and Smile, the formats offered by the REST API.
+ * <p>
+ * Time per operation is the serialization CPU; run with {@code -prof gc} (the default of the
+ * {@code benchmark} profile) for allocation per operation. Raw and gzipped payload sizes are printed
+ * once per trial.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="UserSerializationBenchmark -p users=1000 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int users;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private List<User> payload;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        payload = createUsers(users);
+        writer = objectMapper(format).writerFor(payload.getClass());
+    }
+
+    @TearDown(Level.Trial)
+    public void reportPayloadSize() throws IOException {
+        CountingOutputStream raw = new CountingOutputStream();
+        writer.writeValue(raw, payload);
+        CountingOutputStream gzipped = new CountingOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            writer.writeValue(gzip, payload);
+        }
+        System.out.printf("%n[payload] format=%s users=%d bytes=%d gzipBytes=%d%n",
+                format, users, raw.count, gzipped.count);
+    }
+
+    /**
+     * Streams into a sink, like the message converters stream into the response,
+     * so buffer copies do not hide the allocation of the serializer itself.
+     */
+    @Benchmark
+    public long serialize() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        writer.writeValue(out, payload);
+        return out.count;
+    }
+
+    /**
+     * Same settings as the application's message converters: Spring Boot's builder defaults.
+     */
+    private static ObjectMapper objectMapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    private static List<User> createUsers(int count) {
+        List<User> result = new ArrayList<>(count);
+        LocalDate birthDate = LocalDate.of(1960, 1, 1);
+        for (int i = 0; i < count; i++) {
+            result.add(new User(1000000L + i, "user" + i + "@example.com", "First" + (i % 500), "Last" + (i % 2000),
+                    birthDate.plusDays(i % 15000), i + " Main Street, City", "+380 44 " + (1000000 + i)));
+        }
+        return result;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
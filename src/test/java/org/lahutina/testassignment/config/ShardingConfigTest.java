@@ -0,0 +1,58 @@
+package org.lahutina.testassignment.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardingConfigTest {
+
+    @Test
+    void testMigrateEmptyShard() {
+        DataSource shard = shard("migrate-empty");
+
+        ShardingConfig.migrate(shard);
+
+        assertTrue(indexes(shard).containsAll(List.of("IDX_USERS_BIRTH_DATE", "IDX_USERS_EMAIL")));
+    }
+
+    @Test
+    void testMigrateShardWithOtherTablesOnly() {
+        DataSource shard = shard("migrate-other-tables");
+        new JdbcTemplate(shard).execute("CREATE TABLE audit_log (id BIGINT PRIMARY KEY)");
+
+        ShardingConfig.migrate(shard);
+
+        assertEquals(0, new JdbcTemplate(shard).queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        assertTrue(indexes(shard).containsAll(List.of("IDX_USERS_BIRTH_DATE", "IDX_USERS_EMAIL")));
+    }
+
+    @Test
+    void testMigrateShardCreatedByHibernate() {
+        DataSource shard = shard("migrate-legacy");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, email VARCHAR(255),"
+                + " first_name VARCHAR(255), last_name VARCHAR(255), birth_date DATE, address VARCHAR(255),"
+                + " phone_number VARCHAR(255))");
+        jdbcTemplate.update("INSERT INTO users (email) VALUES ('legacy@example.com')");
+
+        ShardingConfig.migrate(shard);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        assertTrue(indexes(shard).containsAll(List.of("IDX_USERS_BIRTH_DATE", "IDX_USERS_EMAIL")));
+    }
+
+    private static DataSource shard(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static List<String> indexes(DataSource shard) {
+        return new JdbcTemplate(shard).queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'USERS'", String.class);
+    }
+}
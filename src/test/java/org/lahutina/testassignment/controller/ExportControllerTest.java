@@ -0,0 +1,123 @@
+package org.lahutina.testassignment.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lahutina.testassignment.admission.AdmissionGate;
+import org.lahutina.testassignment.admission.RequestClass;
+import org.lahutina.testassignment.exception.ExportJobNotFoundException;
+import org.lahutina.testassignment.exception.ExportNotReadyException;
+import org.lahutina.testassignment.exception.ServiceOverloadedException;
+import org.lahutina.testassignment.export.ExportJob;
+import org.lahutina.testassignment.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportService exportService;
+
+    @Autowired
+    private AdmissionGate admissionGate;
+
+    @TempDir
+    private Path directory;
+
+    private ExportJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new ExportJob();
+    }
+
+    @Test
+    void testStartExport() throws Exception {
+        when(exportService.startExport()).thenReturn(job);
+
+        mockMvc.perform(post("/users/exports"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/users/exports/" + job.getId()))
+                .andExpect(jsonPath("$.id").value(job.getId()))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void testFullQueueDoesNotShrinkWriteLimit() throws Exception {
+        int writeLimit = admissionGate.getLimiter(RequestClass.WRITE).getLimit();
+        when(exportService.startExport())
+                .thenThrow(new ServiceOverloadedException("Too many exports in progress, retry later", Duration.ofSeconds(30)));
+
+        for (int i = 0; i < 40; i++) {
+            mockMvc.perform(post("/users/exports"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "30"));
+        }
+
+        assertEquals(writeLimit, admissionGate.getLimiter(RequestClass.WRITE).getLimit());
+        assertEquals(0, admissionGate.getLimiter(RequestClass.EXPORT).getInFlight());
+    }
+
+    @Test
+    void testExportStatus() throws Exception {
+        job.start();
+        job.addRows(42);
+        when(exportService.getJob(job.getId())).thenReturn(job);
+
+        mockMvc.perform(get("/users/exports/{jobId}", job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.rowsExported").value(42));
+    }
+
+    @Test
+    void testUnknownExport() throws Exception {
+        when(exportService.getJob("missing")).thenThrow(new ExportJobNotFoundException("Export not found with id: missing"));
+
+        mockMvc.perform(get("/users/exports/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("Export not found with id: missing"));
+    }
+
+    @Test
+    void testDownloadBeforeCompletion() throws Exception {
+        when(exportService.getFile(job.getId())).thenThrow(new ExportNotReadyException("Export " + job.getId() + " is RUNNING"));
+
+        mockMvc.perform(get("/users/exports/{jobId}/file", job.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void testDownload() throws Exception {
+        Path file = Files.write(directory.resolve("users-" + job.getId() + ".ucol"), new byte[]{1, 2, 3});
+        when(exportService.getFile(job.getId())).thenReturn(file);
+
+        byte[] body = mockMvc.perform(get("/users/exports/{jobId}/file", job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"users-" + job.getId() + ".ucol\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(3, body.length);
+        assertEquals(0, admissionGate.getLimiter(RequestClass.DOWNLOAD).getInFlight());
+    }
+}
@@ -1,14 +1,20 @@
 package org.lahutina.testassignment.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.annotation.Priority;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.lahutina.testassignment.admission.AdaptiveLimiter;
+import org.lahutina.testassignment.admission.AdmissionGate;
+import org.lahutina.testassignment.admission.RequestClass;
 import org.lahutina.testassignment.dto.UserFullNameDto;
 import org.lahutina.testassignment.entity.User;
 import org.lahutina.testassignment.exception.InvalidUserAgeException;
+import org.lahutina.testassignment.exception.ServiceOverloadedException;
 import org.lahutina.testassignment.exception.UserNotFoundException;
 import org.lahutina.testassignment.service.UserService;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,9 +23,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -35,6 +43,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @Autowired
+    private AdmissionGate admissionGate;
+
     private User testUser;
 
     @BeforeEach
@@ -206,6 +217,132 @@ class UserControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @Priority(11)
+    void testUserNotFoundErrorBody() throws Exception {
+        Long nonExistingUserId = 100L;
+        when(userService.findById(nonExistingUserId)).thenThrow(new UserNotFoundException("User not found with id: 100"));
+
+        mockMvc.perform(get("/users/{id}", nonExistingUserId))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.error").value("Not Found"))
+                .andExpect(jsonPath("$.message").value("User not found with id: 100"));
+    }
+
+    @Test
+    @Priority(12)
+    void testValidationErrorBody() throws Exception {
+        testUser.setEmail("not-an-email");
+
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(testUser)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.details[0]").value("email: Invalid email format"));
+    }
+
+    @Test
+    @Priority(13)
+    void testOverloadedRequestIsShed() throws Exception {
+        AdaptiveLimiter bulkReads = admissionGate.getLimiter(RequestClass.BULK_READ);
+        int acquired = 0;
+        while (bulkReads.tryAcquire()) {
+            acquired++;
+        }
+        try {
+            mockMvc.perform(get("/users"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.status").value(503));
+        } finally {
+            for (int i = 0; i < acquired; i++) {
+                bulkReads.release(System.nanoTime(), false);
+            }
+        }
+    }
+
+    @Test
+    @Priority(14)
+    void testReadAllUsersAsCbor() throws Exception {
+        when(userService.findAll()).thenReturn(List.of(testUser));
+
+        byte[] body = mockMvc.perform(get("/users").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+        cborMapper.registerModule(new JavaTimeModule());
+        List<User> users = cborMapper.readValue(body, new TypeReference<>() {
+        });
+        assertEquals(List.of(testUser), users);
+    }
+
+    @Test
+    @Priority(15)
+    void testInvalidPageIsRejected() throws Exception {
+        mockMvc.perform(get("/users").param("page", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Page must not be negative"));
+        mockMvc.perform(get("/users").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/users/search").param("from", "1990-01-01").param("to", "2000-01-01")
+                        .param("size", String.valueOf(UserController.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    @Priority(16)
+    void testInvalidIdIsBadRequest() throws Exception {
+        mockMvc.perform(get("/users/abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid value for id: abc"));
+    }
+
+    @Test
+    @Priority(17)
+    void testUnmappedPathIsNotFound() throws Exception {
+        mockMvc.perform(get("/wp-login.php"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("No resource at /wp-login.php"));
+    }
+
+    @Test
+    @Priority(18)
+    void testMalformedRequestsAreBadRequests() throws Exception {
+        mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content("{\"email\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Malformed request body"));
+        mockMvc.perform(get("/users/search").param("from", "1990-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Missing parameter: to"));
+    }
+
+    @Test
+    @Priority(19)
+    void testShedDownstreamDoesNotShrinkLimit() throws Exception {
+        AdaptiveLimiter writes = admissionGate.getLimiter(RequestClass.WRITE);
+        int limit = writes.getLimit();
+        when(userService.create(any(User.class)))
+                .thenThrow(new ServiceOverloadedException("Too many exports in progress, retry later", Duration.ofSeconds(30)));
+
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(post("/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(testUser)))
+                    .andExpect(status().isServiceUnavailable());
+        }
+
+        assertEquals(limit, writes.getLimit());
+        assertEquals(0, writes.getInFlight());
+    }
+
     private String asJsonString(Object obj) {
         try {
             ObjectMapper objectMapper = new ObjectMapper();
@@ -215,4 +352,4 @@ class UserControllerTest {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package org.lahutina.testassignment.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lahutina.testassignment.entity.User;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarUserFileTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            users.add(new User(1000L + i * 7L, "user" + i + "@example.com", "Oksana", i % 3 == 0 ? "Lahutina" : "Шевченко",
+                    LocalDate.of(1950, 1, 1).plusDays(i * 13L), "Street " + i, "+1234567" + i));
+        }
+        Path file = directory.resolve("users.ucol");
+
+        write(file, users.subList(0, 1000), users.subList(1000, 2000), users.subList(2000, 2500));
+
+        assertEquals(users, ColumnarUserReader.readAll(file));
+    }
+
+    @Test
+    void testRoundTripWithNulls() throws IOException {
+        User minimal = new User(5L, "min@example.com", null, null, null, null, null);
+        User full = new User(3L, "full@example.com", "Ada", "Lavleys", LocalDate.of(1815, 12, 10), "London", "+44");
+        Path file = directory.resolve("nulls.ucol");
+
+        write(file, List.of(minimal, full));
+
+        assertEquals(List.of(minimal, full), ColumnarUserReader.readAll(file));
+    }
+
+    @Test
+    void testNamesAreDictionaryEncoded() throws IOException {
+        List<User> sameNames = new ArrayList<>();
+        List<User> distinctNames = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            sameNames.add(new User((long) i, "u@example.com", "Oksana", "Lahutina", null, null, null));
+            distinctNames.add(new User((long) i, "u@example.com", "Oksana" + i, "Lahutina" + i, null, null, null));
+        }
+        Path same = directory.resolve("same.ucol");
+        Path distinct = directory.resolve("distinct.ucol");
+
+        write(same, sameNames);
+        write(distinct, distinctNames);
+
+        assertTrue(Files.size(same) * 10 < Files.size(distinct));
+    }
+
+    @Test
+    void testUnfinishedFileIsRejected() throws IOException {
+        Path file = directory.resolve("partial.ucol");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            new ColumnarUserWriter(channel).writeRowGroup(List.of(new User(1L, "a@example.com", "A", "B", null, null, null)));
+        }
+
+        assertThrows(IOException.class, () -> ColumnarUserReader.readAll(file));
+    }
+
+    @Test
+    void testTruncatedFileIsRejected() throws IOException {
+        Path file = directory.resolve("truncated.ucol");
+        write(file, List.of(new User(1L, "a@example.com", "A", "B", LocalDate.of(1990, 1, 1), null, null)));
+        byte[] bytes = Files.readAllBytes(file);
+
+        for (int length = 0; length < bytes.length; length++) {
+            Path truncated = directory.resolve("truncated-" + length + ".ucol");
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> ColumnarUserReader.readAll(truncated), "Length " + length);
+        }
+    }
+
+    @SafeVarargs
+    private static void write(Path file, List<User>... rowGroups) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ColumnarUserWriter writer = new ColumnarUserWriter(channel);
+            for (List<User> rowGroup : rowGroups) {
+                writer.writeRowGroup(rowGroup);
+            }
+            writer.finish();
+        }
+    }
+}
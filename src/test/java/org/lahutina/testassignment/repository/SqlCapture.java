@@ -0,0 +1,29 @@
+package org.lahutina.testassignment.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares, registered through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+}
@@ -0,0 +1,138 @@
+package org.lahutina.testassignment.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lahutina.testassignment.entity.User;
+import org.lahutina.testassignment.service.UserService;
+import org.lahutina.testassignment.shard.ShardRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the indexes from the schema migrations and the number of statements per request.
+ * Plans are checked with H2's EXPLAIN, so a query that falls back to a table scan or a
+ * request that turns into N+1 queries fails the build.
+ */
+@SpringBootTest(properties = {
+        "sharding.shards[0].url=jdbc:h2:mem:query-plan-0;DB_CLOSE_DELAY=-1",
+        "sharding.shards[0].username=sa",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.lahutina.testassignment.repository.SqlCapture"
+})
+@AutoConfigureMockMvc
+class UserRepositoryQueryPlanTest {
+
+    private static final String USER_JSON = """
+            {"email":"plan@example.com","firstName":"Oksana","lastName":"Lahutina","birthDate":"2000-01-01"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource.getShards().get(0));
+        jdbcTemplate.update("DELETE FROM users");
+        for (int i = 0; i < 50; i++) {
+            User user = userService.create(new User(null, "plan" + i + "@example.com", "Oksana", "Lahutina",
+                    LocalDate.of(1970, 1, 1).plusYears(i % 30).plusDays(i), null, null));
+            userId = user.getId();
+        }
+        jdbcTemplate.execute("ANALYZE TABLE users");
+        SqlCapture.clear();
+    }
+
+    @Test
+    void testRepositoryQueriesUseIndexes() {
+        LocalDate from = LocalDate.of(1980, 1, 1);
+        LocalDate to = LocalDate.of(1985, 1, 1);
+
+        userRepository.findById(userId);
+        userRepository.findUsersByBirthDateRange(from, to);
+        userRepository.findUsersByBirthDateRange(from, to, PageRequest.of(1, 5));
+        userRepository.findByIdGreaterThan(userId - 1000, PageRequest.of(0, 10, Sort.by("id")));
+
+        List<String> filtered = SqlCapture.statements().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(" where "))
+                .toList();
+        assertEquals(5, filtered.size(), filtered::toString);
+        filtered.forEach(sql -> assertFalse(explain(sql).contains("tableScan"), () -> sql + "\n" + explain(sql)));
+    }
+
+    @Test
+    void testEmailLookupUsesIndex() {
+        String plan = explain("SELECT id FROM users WHERE email = ?");
+
+        assertTrue(plan.contains("IDX_USERS_EMAIL"), plan);
+    }
+
+    /**
+     * Each request runs the fewest statements it can; an extra one means an N+1 or a redundant lookup.
+     */
+    @Test
+    void testStatementsPerRequest() throws Exception {
+        // Point read by primary key.
+        assertStatements(get("/users/" + userId), "select");
+        // Unpaged listings are one query per shard, and there is a single shard here.
+        assertStatements(get("/users"), "select");
+        assertStatements(get("/users/search").param("from", "1980-01-01").param("to", "1985-01-01"), "select");
+        // Pages also need the total for X-Total-Count.
+        assertStatements(get("/users").param("page", "1").param("size", "10"), "select", "select count");
+        assertStatements(get("/users/search").param("from", "1980-01-01").param("to", "1985-01-01")
+                .param("page", "0").param("size", "5"), "select", "select count");
+        // Read-modify-write runs in one transaction, so the loaded user is flushed without a merge select.
+        assertStatements(patch("/users/" + userId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Olena\"}"), "select", "update");
+        assertStatements(put("/users/" + userId).contentType(MediaType.APPLICATION_JSON).content(USER_JSON),
+                "select", "update");
+        assertStatements(delete("/users/" + userId), "select", "delete");
+        // The id is assigned up front, so a new user is inserted without checking whether it exists.
+        assertStatements(post("/users").contentType(MediaType.APPLICATION_JSON).content(USER_JSON), "insert");
+    }
+
+    private void assertStatements(RequestBuilder request, String... expected) throws Exception {
+        SqlCapture.clear();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        List<String> statements = SqlCapture.statements();
+        assertEquals(expected.length, statements.size(), statements::toString);
+        for (int i = 0; i < expected.length; i++) {
+            String statement = statements.get(i).toLowerCase(Locale.ROOT);
+            assertTrue(statement.startsWith(expected[i]), expected[i] + " expected, got " + statement);
+        }
+    }
+
+    /**
+     * H2 explains a statement with unbound parameters, so captured SQL can be used as is.
+     */
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,110 @@
+package org.lahutina.testassignment.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lahutina.testassignment.entity.User;
+import org.lahutina.testassignment.exception.ExportJobNotFoundException;
+import org.lahutina.testassignment.export.ColumnarUserReader;
+import org.lahutina.testassignment.export.ExportJob;
+import org.lahutina.testassignment.export.ExportStatus;
+import org.lahutina.testassignment.shard.ShardRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "sharding.shards[0].url=jdbc:h2:mem:export-0;DB_CLOSE_DELAY=-1",
+        "sharding.shards[0].username=sa",
+        "sharding.shards[1].url=jdbc:h2:mem:export-1;DB_CLOSE_DELAY=-1",
+        "sharding.shards[1].username=sa",
+        "export.directory=target/test-exports",
+        "export.page-size=7",
+        "export.page-delay=0ms",
+        "export.retention=0s",
+        "export.cleanup-interval=1h"
+})
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource.getShards().forEach(shard -> new JdbcTemplate(shard).update("DELETE FROM users"));
+    }
+
+    @Test
+    void testExportWritesEveryShard() throws Exception {
+        List<User> created = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            User user = new User(null, "export" + i + "@example.com", "First" + (i % 3), "Last" + (i % 4),
+                    LocalDate.of(1980, 1, 1).plusDays(i), i % 2 == 0 ? null : "Street " + i, null);
+            created.add(userService.create(user));
+        }
+
+        ExportJob job = awaitCompletion(exportService.startExport());
+
+        assertEquals(ExportStatus.COMPLETED, job.getStatus());
+        assertEquals(40, job.getRowsExported());
+        List<User> exported = new ArrayList<>(ColumnarUserReader.readAll(exportService.getFile(job.getId())));
+        exported.sort(Comparator.comparing(User::getId));
+        created.sort(Comparator.comparing(User::getId));
+        assertEquals(created, exported);
+    }
+
+    @Test
+    void testExportOfEmptyTable() throws Exception {
+        ExportJob job = awaitCompletion(exportService.startExport());
+
+        assertEquals(ExportStatus.COMPLETED, job.getStatus());
+        assertTrue(ColumnarUserReader.readAll(exportService.getFile(job.getId())).isEmpty());
+    }
+
+    @Test
+    void testCleanupRemovesExpiredJobsAndFiles() throws Exception {
+        ExportJob job = awaitCompletion(exportService.startExport());
+        Path file = exportService.getFile(job.getId());
+        Path stale = Files.writeString(file.resolveSibling("users-stale.ucol"), "left over from a restart");
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+
+        exportService.removeExpiredJobs();
+
+        assertThrows(ExportJobNotFoundException.class, () -> exportService.getJob(job.getId()));
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(stale));
+    }
+
+    @Test
+    void testUnknownJob() {
+        assertThrows(ExportJobNotFoundException.class, () -> exportService.getJob("missing"));
+    }
+
+    private ExportJob awaitCompletion(ExportJob job) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (!job.isFinished() && Instant.now().isBefore(deadline)) {
+            Thread.sleep(20);
+        }
+        return exportService.getJob(job.getId());
+    }
+}
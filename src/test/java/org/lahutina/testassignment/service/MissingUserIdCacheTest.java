@@ -0,0 +1,41 @@
+package org.lahutina.testassignment.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MissingUserIdCacheTest {
+
+    @Test
+    void testMarkedIdIsMissing() {
+        MissingUserIdCache cache = new MissingUserIdCache(Duration.ofMinutes(1), 100);
+
+        cache.markMissing(1L);
+
+        assertTrue(cache.isMissing(1L));
+        assertFalse(cache.isMissing(2L));
+    }
+
+    @Test
+    void testMissingIdExpires() throws InterruptedException {
+        MissingUserIdCache cache = new MissingUserIdCache(Duration.ofMillis(50), 100);
+        cache.markMissing(1L);
+
+        Thread.sleep(100);
+
+        assertFalse(cache.isMissing(1L));
+    }
+
+    @Test
+    void testInvalidateForgetsMissingId() {
+        MissingUserIdCache cache = new MissingUserIdCache(Duration.ofMinutes(1), 100);
+        cache.markMissing(1L);
+
+        cache.invalidate(1L);
+
+        assertFalse(cache.isMissing(1L));
+    }
+}
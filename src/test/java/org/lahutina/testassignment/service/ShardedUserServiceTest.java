@@ -0,0 +1,169 @@
+package org.lahutina.testassignment.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lahutina.testassignment.dto.UserFullNameDto;
+import org.lahutina.testassignment.entity.User;
+import org.lahutina.testassignment.exception.InvalidPageRequestException;
+import org.lahutina.testassignment.exception.UserNotFoundException;
+import org.lahutina.testassignment.shard.ShardRouter;
+import org.lahutina.testassignment.shard.ShardRoutingDataSource;
+import org.lahutina.testassignment.shard.ShardedIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "sharding.shards[0].url=jdbc:h2:mem:sharded-0;DB_CLOSE_DELAY=-1",
+        "sharding.shards[0].username=sa",
+        "sharding.shards[1].url=jdbc:h2:mem:sharded-1;DB_CLOSE_DELAY=-1",
+        "sharding.shards[1].username=sa",
+        "sharding.shards[2].url=jdbc:h2:mem:sharded-2;DB_CLOSE_DELAY=-1",
+        "sharding.shards[2].username=sa"
+})
+class ShardedUserServiceTest {
+
+    private static final int USERS = 30;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource.getShards().forEach(shard -> new JdbcTemplate(shard).update("DELETE FROM users"));
+    }
+
+    @Test
+    void testCreateStoresUserOnShardEncodedInId() {
+        List<User> created = createUsers();
+
+        for (User user : created) {
+            int shard = shardRouter.shardForId(user.getId());
+            assertEquals(shardRouter.shardForEmail(user.getEmail()), shard);
+            assertEquals(1, countOnShard(shard, user.getId()));
+        }
+        for (int shard = 0; shard < dataSource.getShards().size(); shard++) {
+            assertTrue(countOnShard(shard) > 0, "Shard " + shard + " holds no users");
+        }
+    }
+
+    @Test
+    void testPointOperationsRouteToOwningShard() {
+        User user = createUsers().get(7);
+
+        assertEquals(user.getEmail(), userService.findById(user.getId()).getEmail());
+
+        User renamed = userService.updateFullName(user.getId(), new UserFullNameDto("Ada", "Lavleys"));
+        assertEquals("Ada", renamed.getFirstName());
+        assertEquals("Ada", userService.findById(user.getId()).getFirstName());
+
+        userService.delete(user.getId());
+        assertThrows(UserNotFoundException.class, () -> userService.findById(user.getId()));
+    }
+
+    @Test
+    void testLegacyIdsResolveToFirstShard() {
+        // 20000 has bits in the shard range of generated ids, 5000000 also in their timestamp range.
+        for (long legacyId : new long[]{20_000L, 5_000_000L}) {
+            new JdbcTemplate(dataSource.getShards().get(0)).update(
+                    "INSERT INTO users (id, email, first_name, last_name, birth_date) VALUES (?, ?, ?, ?, ?)",
+                    legacyId, "legacy" + legacyId + "@example.com", "Old", "Timer", LocalDate.of(1980, 1, 1));
+
+            assertEquals(0, shardRouter.shardForId(legacyId));
+            assertEquals("legacy" + legacyId + "@example.com", userService.findById(legacyId).getEmail());
+            assertEquals("Ada", userService.updateFullName(legacyId, new UserFullNameDto("Ada", null)).getFirstName());
+
+            userService.delete(legacyId);
+            assertEquals(0, countOnShard(0, legacyId));
+        }
+    }
+
+    @Test
+    void testGeneratedIdsAreNeverLegacy() {
+        for (User user : createUsers()) {
+            assertFalse(ShardedIdGenerator.isLegacy(user.getId()));
+        }
+    }
+
+    @Test
+    void testFindAllMergesShardsInIdOrder() {
+        List<User> created = createUsers();
+        created.sort(Comparator.comparing(User::getId));
+
+        assertEquals(ids(created), ids(userService.findAll()));
+
+        Page<User> page = userService.findAll(PageRequest.of(2, 7));
+        assertEquals(USERS, page.getTotalElements());
+        assertEquals(ids(created.subList(14, 21)), ids(page.getContent()));
+    }
+
+    @Test
+    void testFindUsersByBirthDateRangeMergesShardsInBirthDateOrder() {
+        List<User> created = createUsers();
+        List<User> expected = new ArrayList<>(created.stream()
+                .filter(user -> !user.getBirthDate().isBefore(LocalDate.of(1990, 1, 5)))
+                .filter(user -> !user.getBirthDate().isAfter(LocalDate.of(1990, 1, 24)))
+                .sorted(Comparator.comparing(User::getBirthDate).thenComparing(User::getId))
+                .toList());
+
+        assertEquals(ids(expected), ids(userService.findUsersByBirthDateRange("1990-01-05", "1990-01-24")));
+
+        Page<User> page = userService.findUsersByBirthDateRange("1990-01-05", "1990-01-24", PageRequest.of(1, 6));
+        assertEquals(expected.size(), page.getTotalElements());
+        assertEquals(ids(expected.subList(6, 12)), ids(page.getContent()));
+    }
+
+    @Test
+    void testDeepPagesAreRejected() {
+        assertThrows(InvalidPageRequestException.class, () -> userService.findAll(PageRequest.of(Integer.MAX_VALUE, 1000)));
+        assertThrows(InvalidPageRequestException.class,
+                () -> userService.findUsersByBirthDateRange("1990-01-01", "1990-02-01", PageRequest.of(10, 1000)));
+    }
+
+    private List<User> createUsers() {
+        List<User> created = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@example.com");
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            // Two users share each birth date, so ordering ties are broken by id.
+            user.setBirthDate(LocalDate.of(1990, 1, 1).plusDays(i / 2));
+            created.add(userService.create(user));
+        }
+        return created;
+    }
+
+    private int countOnShard(int shard) {
+        return new JdbcTemplate(dataSource.getShards().get(shard))
+                .queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+    }
+
+    private int countOnShard(int shard, long id) {
+        return new JdbcTemplate(dataSource.getShards().get(shard))
+                .queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, id);
+    }
+
+    private static List<Long> ids(List<User> users) {
+        return users.stream().map(User::getId).toList();
+    }
+}
@@ -11,6 +11,7 @@ import org.lahutina.testassignment.repository.UserRepository;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
@@ -35,10 +36,14 @@ class UserServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private MissingUserIdCache missingUserIdCache;
+
     private User testUser;
 
     @BeforeEach
     void setUp() {
+        missingUserIdCache.invalidateAll();
         testUser = new User();
         testUser.setId(1L);
         testUser.setFirstName("Oksana");
@@ -51,12 +56,12 @@ class UserServiceTest {
 
     @Test
     void testCreate() {
-        when(userRepository.save(any())).thenReturn(testUser);
+        when(userRepository.insert(any())).thenReturn(testUser);
 
         User createdUser = userService.create(testUser);
 
         assertEquals(testUser, createdUser);
-        verify(userRepository, times(1)).save(testUser);
+        verify(userRepository, times(1)).insert(testUser);
     }
 
     @Test
@@ -155,11 +160,31 @@ class UserServiceTest {
 
     @Test
     void testFindAll() {
-        when(userRepository.findAll()).thenReturn(Collections.singletonList(testUser));
+        when(userRepository.findAll(Sort.by("id"))).thenReturn(Collections.singletonList(testUser));
 
         List<User> users = userService.findAll();
 
         assertEquals(1, users.size());
         assertEquals(testUser, users.get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindByIdRemembersMissingId() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.findById(2L));
+        assertThrows(UserNotFoundException.class, () -> userService.findById(2L));
+
+        verify(userRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void testDeleteRemembersMissingId() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        userService.delete(1L);
+
+        assertThrows(UserNotFoundException.class, () -> userService.findById(1L));
+        verify(userRepository, times(1)).findById(1L);
+    }
+}